@@ -276,6 +276,7 @@ public class MainActivity extends Activity implements MeshStateListener {
         RelativeLayout layout = (RelativeLayout) findViewById(R.id.layout);
         int prevTextViewId = 0;
         int curTextViewId = 0;
+        String formId = ScoringRules.PHQ9_FORM_ID;
         TextView textView = new TextView(this);
         EditText editText = new EditText(this);
         final ArrayList<EditText> answers = new ArrayList<EditText>();
@@ -381,6 +382,9 @@ public class MainActivity extends Activity implements MeshStateListener {
                     answers.add(editText);
                     break;
                 default:
+                    if (!genform[i].trim().isEmpty()) {
+                        formId = genform[i].trim();
+                    }
                     idLookUp(genform[i]);
             }
 
@@ -632,6 +636,7 @@ public class MainActivity extends Activity implements MeshStateListener {
         params = new RelativeLayout.LayoutParams(RelativeLayout.LayoutParams.MATCH_PARENT, RelativeLayout.LayoutParams.WRAP_CONTENT);
         params.addRule(RelativeLayout.BELOW, prevTextViewId);
         prevTextViewId = curTextViewId;
+        final String submittedFormId = formId;
         submit.setOnClickListener(new View.OnClickListener() {
             @Override
             public void onClick(View v){
@@ -645,12 +650,38 @@ public class MainActivity extends Activity implements MeshStateListener {
                             str = str + ", " + editText.getText().toString();
                     }
                     str = str + ", " + 0;
-                    int score = 0;
+                    int[] selected = new int[spins.size()];
                     for(int i = 0; i < spins.size(); i++) {
-                        score = score + spins.get(i).getSelectedItemPosition();
+                        selected[i] = spins.get(i).getSelectedItemPosition();
+                    }
+                    // Only forms with a registered scoring rule are kept for cohort statistics.
+                    ResponseStore responses = null;
+                    if (ScoringRules.has(submittedFormId)) {
+                        responses = ResponseStores.get(submittedFormId, spins.size());
+                        if (!responses.accepts(selected)) {
+                            responses = null;
+                        }
+                    }
+                    int score = 0;
+                    if (responses != null) {
+                        score = responses.score(selected);
+                    } else {
+                        for(int answer : selected) {
+                            score = score + answer;
+                        }
                     }
                     str = str + ", " + score;
+                    // Per-item answers go last so the receiving side can store them with
+                    // ResponseStore.addEncoded.
+                    for(int answer : selected) {
+                        str = str + ", " + answer;
+                    }
                     sendAnswers(v, str);
+                    // Store only once the answers are sent, and only once per form.
+                    if (responses != null) {
+                        responses.add(selected);
+                    }
+                    v.setEnabled(false);
                 } catch (RightMeshException e) {
                     e.printStackTrace();
                 }
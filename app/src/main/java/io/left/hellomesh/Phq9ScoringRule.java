@@ -0,0 +1,65 @@
+package io.left.hellomesh;
+
+import java.util.Arrays;
+
+/**
+ * Scoring for the PHQ-9 depression questionnaire: nine items answered 0 ("Not at all") to 3
+ * ("Nearly every day"), summed into a 0-27 total and banded as minimal, mild, moderate,
+ * moderately severe and severe.
+ */
+public class Phq9ScoringRule implements ScoringRule {
+    public static final int BAND_MINIMAL = 0;
+    public static final int BAND_MILD = 1;
+    public static final int BAND_MODERATE = 2;
+    public static final int BAND_MODERATELY_SEVERE = 3;
+    public static final int BAND_SEVERE = 4;
+
+    @Override
+    public int maxAnswer() {
+        return 3;
+    }
+
+    @Override
+    public int score(byte[][] columns, int row) {
+        int score = 0;
+        for (int i = 0; i < columns.length; i++) {
+            score += columns[i][row];
+        }
+        return score;
+    }
+
+    @Override
+    public void scoreAll(byte[][] columns, int size, int[] out) {
+        Arrays.fill(out, 0, size, 0);
+        for (int i = 0; i < columns.length; i++) {
+            byte[] column = columns[i];
+            for (int row = 0; row < size; row++) {
+                out[row] += column[row];
+            }
+        }
+    }
+
+    @Override
+    public int band(int score) {
+        if (score < 5) {
+            return BAND_MINIMAL;
+        } else if (score < 10) {
+            return BAND_MILD;
+        } else if (score < 15) {
+            return BAND_MODERATE;
+        } else if (score < 20) {
+            return BAND_MODERATELY_SEVERE;
+        }
+        return BAND_SEVERE;
+    }
+
+    @Override
+    public int bandCount() {
+        return 5;
+    }
+
+    @Override
+    public int maxScore() {
+        return 27;
+    }
+}
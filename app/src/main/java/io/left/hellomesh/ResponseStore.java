@@ -0,0 +1,275 @@
+package io.left.hellomesh;
+
+import java.util.Arrays;
+
+/**
+ * In-memory store of questionnaire responses to a single form, laid out by column: one
+ * {@code byte[]} per item holding the selected answer position of every response. Scores are
+ * computed in one batch pass over the columns using the form's {@link ScoringRule}, and cohort
+ * statistics are built from that single scored array, without creating an object per response
+ * or per answer.
+ */
+public class ResponseStore {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final String formId;
+    private final ScoringRule rule;
+    private byte[][] columns;
+    private int size = 0;
+
+    // Scores of every row, valid for the first scoredSize rows.
+    private int[] scores = new int[INITIAL_CAPACITY];
+    private int scoredSize = 0;
+
+    /**
+     * Cohort statistics computed from one scoring pass over a store.
+     */
+    public static class CohortStats {
+        // Number of responses the statistics cover.
+        public final int count;
+        // Number of responses per total score, indexed from 0 to the rule's max score.
+        public final int[] scoreDistribution;
+        // Number of responses per severity band, indexed by band.
+        public final int[] bandCounts;
+        // Mean total score, or 0 if there are no responses.
+        public final double meanScore;
+
+        CohortStats(int count, int[] scoreDistribution, int[] bandCounts, double meanScore) {
+            this.count = count;
+            this.scoreDistribution = scoreDistribution;
+            this.bandCounts = bandCounts;
+            this.meanScore = meanScore;
+        }
+    }
+
+    /**
+     * Creates an empty store, using the scoring rule registered in {@link ScoringRules}.
+     *
+     * @param formId form the stored responses belong to
+     * @param itemCount number of scored items on the form
+     */
+    public ResponseStore(String formId, int itemCount) {
+        this(formId, itemCount, ScoringRules.get(formId));
+    }
+
+    /**
+     * Creates an empty store with an explicit scoring rule.
+     *
+     * @param formId form the stored responses belong to
+     * @param itemCount number of scored items on the form
+     * @param rule rule used to score each response
+     * @throws IllegalArgumentException if the form has no items, or the rule accepts answers that
+     *         don't fit in a byte column
+     */
+    public ResponseStore(String formId, int itemCount, ScoringRule rule) {
+        if (itemCount < 1) {
+            throw new IllegalArgumentException("A form needs at least one scored item");
+        }
+        if (rule.maxAnswer() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Answers up to " + rule.maxAnswer()
+                    + " don't fit in a byte column");
+        }
+        this.formId = formId;
+        this.rule = rule;
+        this.columns = new byte[itemCount][INITIAL_CAPACITY];
+    }
+
+    /**
+     * @param answers selected answer position for each item, in form order
+     * @return whether {@link #add(int[])} would accept the answers
+     */
+    public boolean accepts(int[] answers) {
+        if (answers.length != columns.length) {
+            return false;
+        }
+        int maxAnswer = rule.maxAnswer();
+        for (int i = 0; i < answers.length; i++) {
+            if (answers[i] < 0 || answers[i] > maxAnswer) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Appends a response.
+     *
+     * @param answers selected answer position for each item, in form order
+     * @return row index of the stored response
+     * @throws IllegalArgumentException if the number of answers doesn't match the form, or an
+     *         answer is outside the range accepted by the form's scoring rule
+     */
+    public int add(int[] answers) {
+        if (!accepts(answers)) {
+            throw new IllegalArgumentException("Expected " + columns.length + " answers in 0.."
+                    + rule.maxAnswer() + ", got " + Arrays.toString(answers));
+        }
+        if (size == columns[0].length) {
+            grow();
+        }
+        for (int i = 0; i < columns.length; i++) {
+            columns[i][size] = (byte) answers[i];
+        }
+        return size++;
+    }
+
+    /**
+     * Appends a response sent over the mesh. The answers are the last {@link #itemCount()}
+     * comma separated fields of the message, as written by the questionnaire's submit button.
+     *
+     * @param message encoded answers
+     * @return row index of the stored response
+     * @throws IllegalArgumentException if the message doesn't end in valid answers for this form
+     */
+    public int addEncoded(String message) {
+        String[] fields = message.split(",");
+        int itemCount = columns.length;
+        if (fields.length < itemCount) {
+            throw new IllegalArgumentException("Expected " + itemCount + " answers in "
+                    + message);
+        }
+        int[] answers = new int[itemCount];
+        int offset = fields.length - itemCount;
+        for (int i = 0; i < itemCount; i++) {
+            answers[i] = Integer.parseInt(fields[offset + i].trim());
+        }
+        return add(answers);
+    }
+
+    /**
+     * Doubles the capacity of every column.
+     */
+    private void grow() {
+        int capacity = columns[0].length * 2;
+        for (int i = 0; i < columns.length; i++) {
+            byte[] column = new byte[capacity];
+            System.arraycopy(columns[i], 0, column, 0, size);
+            columns[i] = column;
+        }
+    }
+
+    /**
+     * @param row index of a stored response
+     * @return total score of that response
+     */
+    public int score(int row) {
+        return rule.score(columns, row);
+    }
+
+    /**
+     * Scores a response without storing it.
+     *
+     * @param answers selected answer position for each item; must be accepted by
+     *         {@link #accepts(int[])}
+     * @return total score of the response
+     */
+    public int score(int[] answers) {
+        byte[][] row = new byte[answers.length][1];
+        for (int i = 0; i < answers.length; i++) {
+            row[i][0] = (byte) answers[i];
+        }
+        return rule.score(row, 0);
+    }
+
+    /**
+     * Scores every stored response in one batch pass, reusing the previous pass if nothing
+     * has been added since.
+     *
+     * @return array whose first {@link #size()} elements hold the score of each row; owned by
+     *         the store and overwritten by later calls
+     */
+    public int[] scoreAll() {
+        if (scoredSize != size) {
+            if (scores.length < size) {
+                scores = new int[columns[0].length];
+            }
+            rule.scoreAll(columns, size, scores);
+            scoredSize = size;
+        }
+        return scores;
+    }
+
+    /**
+     * Computes the score distribution, severity band counts and mean score of all responses.
+     * Scores outside 0..maxScore or bands outside 0..bandCount - 1 are clamped to the nearest
+     * bucket.
+     *
+     * @return statistics over the current responses
+     */
+    public CohortStats cohortStats() {
+        int[] scores = scoreAll();
+        int maxScore = rule.maxScore();
+        int maxBand = rule.bandCount() - 1;
+        int[] distribution = new int[maxScore + 1];
+        int[] bands = new int[maxBand + 1];
+        long total = 0;
+        for (int row = 0; row < size; row++) {
+            int score = scores[row];
+            total += score;
+            distribution[clamp(score, maxScore)]++;
+            bands[clamp(rule.band(score), maxBand)]++;
+        }
+        double mean = size == 0 ? 0 : (double) total / size;
+        return new CohortStats(size, distribution, bands, mean);
+    }
+
+    private static int clamp(int value, int max) {
+        return value < 0 ? 0 : (value > max ? max : value);
+    }
+
+    /**
+     * @param item index of the item on the form
+     * @return mean answer position for that item, or 0 if the store is empty
+     */
+    public double itemMean(int item) {
+        if (size == 0) {
+            return 0;
+        }
+        byte[] column = columns[item];
+        long total = 0;
+        for (int row = 0; row < size; row++) {
+            total += column[row];
+        }
+        return (double) total / size;
+    }
+
+    /**
+     * @return mean answer position of every item, in form order
+     */
+    public double[] itemMeans() {
+        double[] means = new double[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            means[i] = itemMean(i);
+        }
+        return means;
+    }
+
+    /**
+     * Removes all responses, keeping the allocated columns for reuse.
+     */
+    public void clear() {
+        size = 0;
+        scoredSize = 0;
+    }
+
+    /**
+     * @return number of stored responses
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return number of items per response
+     */
+    public int itemCount() {
+        return columns.length;
+    }
+
+    /**
+     * @return form the stored responses belong to
+     */
+    public String getFormId() {
+        return formId;
+    }
+}
@@ -0,0 +1,43 @@
+package io.left.hellomesh;
+
+import java.util.HashMap;
+
+/**
+ * Process-wide {@link ResponseStore}s, one per form ID, so collected responses survive activity
+ * recreation.
+ */
+public final class ResponseStores {
+    private static final HashMap<String, ResponseStore> stores = new HashMap<>();
+
+    private ResponseStores() {
+    }
+
+    /**
+     * Returns the store for a form, creating it with the form's registered scoring rule on first
+     * use.
+     *
+     * @param formId form ID the responses belong to
+     * @param itemCount number of scored items on the form
+     * @return the form's store
+     * @throws IllegalArgumentException if no scoring rule is registered for the form, or the
+     *         form's existing store has a different number of items
+     */
+    public static synchronized ResponseStore get(String formId, int itemCount) {
+        ResponseStore store = stores.get(formId);
+        if (store == null) {
+            store = new ResponseStore(formId, itemCount);
+            stores.put(formId, store);
+        } else if (store.itemCount() != itemCount) {
+            throw new IllegalArgumentException("Form " + formId + " has " + store.itemCount()
+                    + " items, not " + itemCount);
+        }
+        return store;
+    }
+
+    /**
+     * Drops every store. Only meant for tests.
+     */
+    static synchronized void reset() {
+        stores.clear();
+    }
+}
@@ -0,0 +1,50 @@
+package io.left.hellomesh;
+
+/**
+ * Scores the responses held in a {@link ResponseStore}. Implementations read the answers straight
+ * out of the store's item columns so that cohort queries can score thousands of rows without
+ * allocating anything per answer.
+ */
+public interface ScoringRule {
+
+    /**
+     * @return highest answer position accepted for any item; answers range from 0 to this value
+     */
+    int maxAnswer();
+
+    /**
+     * Computes the total score of a single response.
+     *
+     * @param columns one column per item, each holding the selected answer position per row
+     * @param row index of the response to score
+     * @return total score of the response
+     */
+    int score(byte[][] columns, int row);
+
+    /**
+     * Computes the total score of every response, walking the store one column at a time.
+     *
+     * @param columns one column per item, each holding the selected answer position per row
+     * @param size number of rows to score
+     * @param out array of at least {@code size} elements receiving the score of each row
+     */
+    void scoreAll(byte[][] columns, int size, int[] out);
+
+    /**
+     * Maps a total score onto a severity band.
+     *
+     * @param score total score as returned by {@link #score(byte[][], int)}
+     * @return band index, from 0 up to {@link #bandCount()} - 1
+     */
+    int band(int score);
+
+    /**
+     * @return number of severity bands returned by {@link #band(int)}
+     */
+    int bandCount();
+
+    /**
+     * @return highest total score this rule can produce
+     */
+    int maxScore();
+}
@@ -0,0 +1,54 @@
+package io.left.hellomesh;
+
+import java.util.HashMap;
+
+/**
+ * Registry of {@link ScoringRule}s keyed by the form ID carried at the end of an encoded form
+ * (see {@link MainActivity#idLookUp(String)}).
+ */
+public final class ScoringRules {
+    // Form ID of the depression questionnaire.
+    public static final String PHQ9_FORM_ID = "1";
+
+    private static final HashMap<String, ScoringRule> rules = new HashMap<>();
+
+    static {
+        register(PHQ9_FORM_ID, new Phq9ScoringRule());
+    }
+
+    private ScoringRules() {
+    }
+
+    /**
+     * Registers the scoring rule for a form, replacing any rule already registered for it.
+     *
+     * @param formId form ID the rule applies to
+     * @param rule rule to use for responses to that form
+     */
+    public static synchronized void register(String formId, ScoringRule rule) {
+        rules.put(formId, rule);
+    }
+
+    /**
+     * @param formId form ID to look up
+     * @return whether a scoring rule is registered for the form
+     */
+    public static synchronized boolean has(String formId) {
+        return rules.containsKey(formId);
+    }
+
+    /**
+     * Looks up the scoring rule for a form.
+     *
+     * @param formId form ID to look up
+     * @return the registered rule
+     * @throws IllegalArgumentException if no rule is registered for the form
+     */
+    public static synchronized ScoringRule get(String formId) {
+        ScoringRule rule = rules.get(formId);
+        if (rule == null) {
+            throw new IllegalArgumentException("No scoring rule for form " + formId);
+        }
+        return rule;
+    }
+}
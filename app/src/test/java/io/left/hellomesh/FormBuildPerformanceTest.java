@@ -0,0 +1,72 @@
+package io.left.hellomesh;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Regression gate for form construction. Builds forms of 10, 100 and 1,000 items with
+ * {@link FormBuildProfiler} and fails when:
+ * - the view count or depth differs from the baselines below,
+ * - allocated bytes grow more than {@link #ALLOCATION_TOLERANCE} past the baselines, or
+ * - time per item at 1,000 items exceeds {@link #MAX_SCALING} times the time per item at 10.
+ *
+ * Baselines were recorded with Robolectric 3.4.2 on a JDK 8 host JVM. When generateForm changes
+ * on purpose, re-run this test, copy the printed results into BASELINES and commit them with the
+ * change.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class FormBuildPerformanceTest {
+    // Allowed growth in allocated bytes over the baselines, as a fraction.
+    private static final double ALLOCATION_TOLERANCE = 0.1;
+
+    // Highest accepted ratio of time per item at 1,000 items to time per item at 10 items. The
+    // fixed PHQ-9 section dominates the 10-item form, so the recorded ratio is 0.051 to 0.072.
+    private static final double MAX_SCALING = 0.15;
+
+    private static final int WARMUPS = 3;
+    private static final int RUNS = 5;
+
+    // Each demographic item adds a TextView and an EditText; the PHQ-9 section adds a header,
+    // nine TextView and Spinner pairs and the submit button. Time is not compared directly.
+    private static final FormBuildProfiler.Result[] BASELINES = {
+            new FormBuildProfiler.Result(10, 0, 53093616L, 40, 1),
+            new FormBuildProfiler.Result(100, 0, 285019928L, 220, 1),
+            new FormBuildProfiler.Result(1000, 0, 2613739344L, 2020, 1),
+    };
+
+    private FormBuildProfiler profiler;
+
+    @Before
+    public void setUp() {
+        // Only attach the activity and inflate its layout: running onCreate would start the
+        // mesh service, which isn't needed to build forms.
+        MainActivity activity = Robolectric.buildActivity(MainActivity.class).get();
+        activity.setContentView(R.layout.activity_main);
+        assertNotNull(activity.findViewById(R.id.txtStatus));
+        profiler = new FormBuildProfiler(activity, WARMUPS, RUNS);
+    }
+
+    @Test
+    public void formConstructionHasNotRegressed() {
+        FormBuildProfiler.Result[] results = new FormBuildProfiler.Result[BASELINES.length];
+        for (int i = 0; i < BASELINES.length; i++) {
+            results[i] = profiler.profile(BASELINES[i].itemCount);
+            System.out.println(results[i]);
+        }
+        FormBuildProfiler.Result small = results[0];
+        FormBuildProfiler.Result large = results[results.length - 1];
+        System.out.println("scaling " + FormBuildProfiler.scaling(small, large));
+
+        for (int i = 0; i < BASELINES.length; i++) {
+            FormBuildProfiler.check(BASELINES[i], results[i], ALLOCATION_TOLERANCE);
+        }
+        FormBuildProfiler.checkScaling(small, large, MAX_SCALING);
+    }
+}
@@ -0,0 +1,228 @@
+package io.left.hellomesh;
+
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.RelativeLayout;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * Measures how expensive {@link MainActivity#generateForm(String[])} is as forms grow: wall-clock
+ * construction time, bytes allocated on the calling thread, and the number of views and depth of
+ * the hierarchy it adds. Each measurement is taken after warm-up builds and is the minimum over
+ * several runs, so it can be compared without flaking.
+ *
+ * Allocations are read from the host JVM's {@link com.sun.management.ThreadMXBean}, which works
+ * headless under Robolectric. On a device, where that bean doesn't exist, they are reported as -1
+ * and not checked.
+ */
+public class FormBuildProfiler {
+    // Item codes understood by generateForm, cycled through to build synthetic forms.
+    private static final String[] ITEM_CODES = {"?", "*", "+", "-"};
+
+    private final MainActivity activity;
+    private final int warmups;
+    private final int runs;
+
+    /**
+     * Result of building one form.
+     */
+    public static class Result {
+        public final int itemCount;
+        public final long nanos;
+        public final long allocatedBytes;
+        public final int viewCount;
+        public final int depth;
+
+        public Result(int itemCount, long nanos, long allocatedBytes, int viewCount, int depth) {
+            this.itemCount = itemCount;
+            this.nanos = nanos;
+            this.allocatedBytes = allocatedBytes;
+            this.viewCount = viewCount;
+            this.depth = depth;
+        }
+
+        @Override
+        public String toString() {
+            return itemCount + " items: " + (nanos / 1000) + "us, " + allocatedBytes
+                    + " bytes allocated, " + viewCount + " views, depth " + depth;
+        }
+    }
+
+    /**
+     * @param activity activity whose layout the forms are built into; must have its content view
+     * @param warmups number of builds discarded before measuring
+     * @param runs number of measured builds; the minimum time and allocation is kept
+     */
+    public FormBuildProfiler(MainActivity activity, int warmups, int runs) {
+        this.activity = activity;
+        this.warmups = warmups;
+        this.runs = runs;
+    }
+
+    /**
+     * Builds a synthetic encoded form, cycling through the known item codes and ending with the
+     * depression questionnaire's form ID.
+     *
+     * @param itemCount number of items before the form ID
+     * @return parsed form as passed to generateForm
+     */
+    public static String[] syntheticForm(int itemCount) {
+        String[] form = new String[itemCount + 1];
+        for (int i = 0; i < itemCount; i++) {
+            form[i] = ITEM_CODES[i % ITEM_CODES.length];
+        }
+        form[itemCount] = ScoringRules.PHQ9_FORM_ID;
+        return form;
+    }
+
+    /**
+     * Builds a form of the given size repeatedly and measures it. Only the views generateForm
+     * adds are counted, and they are removed again after every build so the activity's own
+     * views are left untouched.
+     *
+     * @param itemCount number of items on the form
+     * @return measurements for that form size
+     */
+    public Result profile(int itemCount) {
+        String[] form = syntheticForm(itemCount);
+        RelativeLayout layout = (RelativeLayout) activity.findViewById(R.id.layout);
+        int staticChildren = layout.getChildCount();
+
+        for (int i = 0; i < warmups; i++) {
+            activity.generateForm(form);
+            layout.removeViews(staticChildren, layout.getChildCount() - staticChildren);
+        }
+
+        long[] nanos = new long[runs];
+        long[] bytes = new long[runs];
+        int viewCount = 0;
+        int depth = 0;
+        for (int i = 0; i < runs; i++) {
+            long startBytes = allocatedBytes();
+            long start = System.nanoTime();
+            activity.generateForm(form);
+            nanos[i] = System.nanoTime() - start;
+            long endBytes = allocatedBytes();
+            bytes[i] = startBytes < 0 ? -1 : endBytes - startBytes;
+
+            viewCount = 0;
+            depth = 0;
+            for (int child = staticChildren; child < layout.getChildCount(); child++) {
+                viewCount += countViews(layout.getChildAt(child));
+                depth = Math.max(depth, depth(layout.getChildAt(child)));
+            }
+            layout.removeViews(staticChildren, layout.getChildCount() - staticChildren);
+        }
+        Arrays.sort(nanos);
+        Arrays.sort(bytes);
+        return new Result(itemCount, nanos[0], bytes[0], viewCount, depth);
+    }
+
+    /**
+     * @return bytes allocated so far by the current thread, or -1 if the JVM can't tell
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        return ((com.sun.management.ThreadMXBean) bean)
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Fails if a result has regressed against a baseline for the same form size. View count and
+     * depth must match exactly; allocation may grow by at most the tolerance. Time isn't checked
+     * here because it depends on the machine, see {@link #checkScaling}.
+     *
+     * @param baseline previously recorded result
+     * @param current freshly measured result
+     * @param allocationTolerance allowed growth in allocated bytes as a fraction, e.g. 0.1
+     * @throws AssertionError describing every metric that regressed
+     */
+    public static void check(Result baseline, Result current, double allocationTolerance) {
+        if (baseline.itemCount != current.itemCount) {
+            throw new IllegalArgumentException("Baseline is for " + baseline.itemCount
+                    + " items, result for " + current.itemCount);
+        }
+        String failures = "";
+        if (current.allocatedBytes >= 0 && current.allocatedBytes
+                > baseline.allocatedBytes * (1 + allocationTolerance)) {
+            failures += "\n  allocated " + baseline.allocatedBytes + " -> "
+                    + current.allocatedBytes + " bytes";
+        }
+        if (current.viewCount != baseline.viewCount) {
+            failures += "\n  views " + baseline.viewCount + " -> " + current.viewCount;
+        }
+        if (current.depth != baseline.depth) {
+            failures += "\n  depth " + baseline.depth + " -> " + current.depth;
+        }
+        if (!failures.isEmpty()) {
+            throw new AssertionError("Form construction regressed for " + current.itemCount
+                    + " items:" + failures);
+        }
+    }
+
+    /**
+     * Ratio of the time per item of the larger form to that of the smaller one. It stays roughly
+     * constant on any machine as long as construction cost grows linearly with the form size.
+     *
+     * @param small result for the smaller form
+     * @param large result for the larger form
+     * @return per-item cost of the larger form divided by per-item cost of the smaller form
+     */
+    public static double scaling(Result small, Result large) {
+        double smallPerItem = (double) small.nanos / small.itemCount;
+        double largePerItem = (double) large.nanos / large.itemCount;
+        return largePerItem / smallPerItem;
+    }
+
+    /**
+     * Fails if construction time grows faster with form size than allowed.
+     *
+     * @param small result for the smaller form
+     * @param large result for the larger form
+     * @param maxScaling highest accepted {@link #scaling} ratio
+     * @throws AssertionError if the ratio is above the limit
+     */
+    public static void checkScaling(Result small, Result large, double maxScaling) {
+        double scaling = scaling(small, large);
+        if (scaling > maxScaling) {
+            throw new AssertionError("Time per item grew " + scaling + "x from "
+                    + small.itemCount + " to " + large.itemCount + " items, limit is "
+                    + maxScaling + "x");
+        }
+    }
+
+    /**
+     * @param view root of the hierarchy
+     * @return number of views in the hierarchy, including the root
+     */
+    static int countViews(View view) {
+        int count = 1;
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                count += countViews(group.getChildAt(i));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param view root of the hierarchy
+     * @return number of levels in the hierarchy, counting the root as 1
+     */
+    static int depth(View view) {
+        int depth = 0;
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                depth = Math.max(depth, depth(group.getChildAt(i)));
+            }
+        }
+        return depth + 1;
+    }
+}
@@ -0,0 +1,93 @@
+package io.left.hellomesh;
+
+import android.view.View;
+import android.widget.FrameLayout;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the pass/fail logic of {@link FormBuildProfiler}. Runs under Robolectric only because
+ * the hierarchy walks need real views.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 25)
+public class FormBuildProfilerTest {
+    private static final FormBuildProfiler.Result BASELINE =
+            new FormBuildProfiler.Result(10, 1000, 50000, 40, 1);
+
+    @Test
+    public void checkAcceptsResultWithinTolerance() {
+        FormBuildProfiler.check(BASELINE,
+                new FormBuildProfiler.Result(10, 999999, 54000, 40, 1), 0.1);
+    }
+
+    @Test
+    public void checkIgnoresUnmeasuredAllocation() {
+        FormBuildProfiler.check(BASELINE, new FormBuildProfiler.Result(10, 1000, -1, 40, 1), 0.1);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void checkRejectsAllocationGrowth() {
+        FormBuildProfiler.check(BASELINE, new FormBuildProfiler.Result(10, 1000, 56000, 40, 1),
+                0.1);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void checkRejectsExtraViews() {
+        FormBuildProfiler.check(BASELINE, new FormBuildProfiler.Result(10, 1000, 50000, 41, 1),
+                0.1);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void checkRejectsDeeperHierarchy() {
+        FormBuildProfiler.check(BASELINE, new FormBuildProfiler.Result(10, 1000, 50000, 40, 2),
+                0.1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void checkRejectsMismatchedSizes() {
+        FormBuildProfiler.check(BASELINE, new FormBuildProfiler.Result(100, 1000, 50000, 40, 1),
+                0.1);
+    }
+
+    @Test
+    public void scalingAcceptsLinearGrowth() {
+        FormBuildProfiler.Result small = new FormBuildProfiler.Result(10, 1000, 0, 0, 0);
+        FormBuildProfiler.Result large = new FormBuildProfiler.Result(1000, 100000, 0, 0, 0);
+        assertEquals(1.0, FormBuildProfiler.scaling(small, large), 1e-9);
+        FormBuildProfiler.checkScaling(small, large, 2.0);
+    }
+
+    @Test(expected = AssertionError.class)
+    public void scalingRejectsQuadraticGrowth() {
+        FormBuildProfiler.Result small = new FormBuildProfiler.Result(10, 1000, 0, 0, 0);
+        FormBuildProfiler.Result large = new FormBuildProfiler.Result(1000, 10000000, 0, 0, 0);
+        FormBuildProfiler.checkScaling(small, large, 2.0);
+    }
+
+    @Test
+    public void countsViewsAndDepthOfHandBuiltTree() {
+        // root -> (text, inner -> (text, leaf -> text))
+        FrameLayout root = new FrameLayout(RuntimeEnvironment.application);
+        LinearLayout inner = new LinearLayout(RuntimeEnvironment.application);
+        FrameLayout leaf = new FrameLayout(RuntimeEnvironment.application);
+        root.addView(new TextView(RuntimeEnvironment.application));
+        root.addView(inner);
+        inner.addView(new TextView(RuntimeEnvironment.application));
+        inner.addView(leaf);
+        leaf.addView(new TextView(RuntimeEnvironment.application));
+
+        assertEquals(6, FormBuildProfiler.countViews(root));
+        assertEquals(4, FormBuildProfiler.depth(root));
+        assertEquals(2, FormBuildProfiler.countViews(leaf));
+        assertEquals(1, FormBuildProfiler.depth(new View(RuntimeEnvironment.application)));
+    }
+}
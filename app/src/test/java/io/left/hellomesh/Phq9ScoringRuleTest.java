@@ -0,0 +1,35 @@
+package io.left.hellomesh;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class Phq9ScoringRuleTest {
+    private final Phq9ScoringRule rule = new Phq9ScoringRule();
+
+    @Test
+    public void bandBoundaries() {
+        assertEquals(Phq9ScoringRule.BAND_MINIMAL, rule.band(0));
+        assertEquals(Phq9ScoringRule.BAND_MINIMAL, rule.band(4));
+        assertEquals(Phq9ScoringRule.BAND_MILD, rule.band(5));
+        assertEquals(Phq9ScoringRule.BAND_MILD, rule.band(9));
+        assertEquals(Phq9ScoringRule.BAND_MODERATE, rule.band(10));
+        assertEquals(Phq9ScoringRule.BAND_MODERATE, rule.band(14));
+        assertEquals(Phq9ScoringRule.BAND_MODERATELY_SEVERE, rule.band(15));
+        assertEquals(Phq9ScoringRule.BAND_MODERATELY_SEVERE, rule.band(19));
+        assertEquals(Phq9ScoringRule.BAND_SEVERE, rule.band(20));
+        assertEquals(Phq9ScoringRule.BAND_SEVERE, rule.band(27));
+    }
+
+    @Test
+    public void scoreAllMatchesScore() {
+        byte[][] columns = {{0, 1, 3}, {2, 1, 3}, {1, 0, 3}};
+        int[] out = {99, 99, 99, 99};
+        rule.scoreAll(columns, 3, out);
+        assertArrayEquals(new int[] {3, 2, 9, 99}, out);
+        for (int row = 0; row < 3; row++) {
+            assertEquals(out[row], rule.score(columns, row));
+        }
+    }
+}
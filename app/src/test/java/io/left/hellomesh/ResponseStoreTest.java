@@ -0,0 +1,138 @@
+package io.left.hellomesh;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ResponseStoreTest {
+    private static final int ITEMS = 9;
+
+    private static int[] answers(int value) {
+        int[] answers = new int[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            answers[i] = value;
+        }
+        return answers;
+    }
+
+    private static ResponseStore newStore() {
+        return new ResponseStore(ScoringRules.PHQ9_FORM_ID, ITEMS);
+    }
+
+    @Test
+    public void growsPastInitialCapacity() {
+        ResponseStore store = newStore();
+        for (int row = 0; row < 200; row++) {
+            assertEquals(row, store.add(answers(row % 4)));
+        }
+        assertEquals(200, store.size());
+        int[] scores = store.scoreAll();
+        for (int row = 0; row < 200; row++) {
+            assertEquals(ITEMS * (row % 4), scores[row]);
+            assertEquals(ITEMS * (row % 4), store.score(row));
+        }
+    }
+
+    @Test
+    public void cohortStatsComeFromOneScoringPass() {
+        ResponseStore store = newStore();
+        store.add(answers(0));
+        store.add(answers(1));
+        store.add(answers(3));
+
+        ResponseStore.CohortStats stats = store.cohortStats();
+        assertEquals(3, stats.count);
+        assertEquals(1, stats.scoreDistribution[0]);
+        assertEquals(1, stats.scoreDistribution[9]);
+        assertEquals(1, stats.scoreDistribution[27]);
+        assertArrayEquals(new int[] {1, 1, 0, 0, 1}, stats.bandCounts);
+        assertEquals(12.0, stats.meanScore, 0.0);
+    }
+
+    @Test
+    public void scoresStayCurrentAfterAdd() {
+        ResponseStore store = newStore();
+        store.add(answers(1));
+        assertEquals(9, store.scoreAll()[0]);
+        store.add(answers(2));
+        assertEquals(18, store.scoreAll()[1]);
+        store.clear();
+        store.add(answers(3));
+        assertEquals(27, store.scoreAll()[0]);
+    }
+
+    @Test
+    public void itemMeans() {
+        ResponseStore store = newStore();
+        int[] first = answers(0);
+        first[2] = 3;
+        store.add(first);
+        store.add(answers(1));
+        assertEquals(0.5, store.itemMean(0), 0.0);
+        assertEquals(2.0, store.itemMeans()[2], 0.0);
+    }
+
+    @Test
+    public void emptyStoreMeansAreZero() {
+        ResponseStore store = newStore();
+        assertEquals(0.0, store.itemMean(0), 0.0);
+        assertEquals(0.0, store.cohortStats().meanScore, 0.0);
+        assertEquals(0, store.cohortStats().count);
+    }
+
+    @Test
+    public void addEncodedReadsTrailingAnswers() {
+        ResponseStore store = newStore();
+        store.addEncoded("Sam, 15, F, 1234, 0, 9, 1, 1, 1, 1, 1, 1, 1, 1, 1");
+        assertEquals(9, store.score(0));
+    }
+
+    @Test
+    public void scoresWithoutStoring() {
+        ResponseStore store = newStore();
+        assertEquals(18, store.score(answers(2)));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void acceptsOnlyAnswersInRange() {
+        ResponseStore store = newStore();
+        assertTrue(store.accepts(answers(3)));
+        assertFalse(store.accepts(answers(-1)));
+        assertFalse(store.accepts(answers(4)));
+        assertFalse(store.accepts(new int[ITEMS - 1]));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsRuleWiderThanByte() {
+        new ResponseStore("wide", ITEMS, new Phq9ScoringRule() {
+            @Override
+            public int maxAnswer() {
+                return Byte.MAX_VALUE + 1;
+            }
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAnswerCountMismatch() {
+        newStore().add(new int[ITEMS - 1]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnselectedAnswer() {
+        newStore().add(answers(-1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAnswerAboveRange() {
+        newStore().add(answers(4));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyForm() {
+        new ResponseStore(ScoringRules.PHQ9_FORM_ID, 0);
+    }
+}
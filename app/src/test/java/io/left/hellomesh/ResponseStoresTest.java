@@ -0,0 +1,45 @@
+package io.left.hellomesh;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ResponseStoresTest {
+
+    @Before
+    @After
+    public void reset() {
+        ResponseStores.reset();
+    }
+
+    @Test
+    public void storesArePerFormId() {
+        ResponseStore store = ResponseStores.get(ScoringRules.PHQ9_FORM_ID, 9);
+        assertSame(store, ResponseStores.get(ScoringRules.PHQ9_FORM_ID, 9));
+    }
+
+    @Test
+    public void resetDropsStores() {
+        ResponseStore store = ResponseStores.get(ScoringRules.PHQ9_FORM_ID, 9);
+        store.add(new int[9]);
+        ResponseStores.reset();
+        ResponseStore fresh = ResponseStores.get(ScoringRules.PHQ9_FORM_ID, 9);
+        assertNotSame(store, fresh);
+        assertEquals(0, fresh.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsDifferentItemCount() {
+        ResponseStores.get(ScoringRules.PHQ9_FORM_ID, 9);
+        ResponseStores.get(ScoringRules.PHQ9_FORM_ID, 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnknownFormId() {
+        ResponseStores.get("unknown", 9);
+    }
+}
@@ -0,0 +1,25 @@
+package io.left.hellomesh;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ScoringRulesTest {
+
+    @Test
+    public void phq9IsRegistered() {
+        assertTrue(ScoringRules.get(ScoringRules.PHQ9_FORM_ID) instanceof Phq9ScoringRule);
+    }
+
+    @Test
+    public void hasOnlyRegisteredForms() {
+        assertTrue(ScoringRules.has(ScoringRules.PHQ9_FORM_ID));
+        assertFalse(ScoringRules.has("unknown"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownFormIdThrows() {
+        ScoringRules.get("unknown");
+    }
+}